@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.hocon;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+import org.codehaus.plexus.util.ReaderFactory;
+
+/**
+ * Thread-safe cache of HOCON configurations, keyed by file.
+ * <p>
+ * Two kinds of entries are kept: the parsed, unresolved configuration of any pom
+ * looked at as a potential parent, and the resolved configuration of actual parents.
+ * Each entry is loaded at most once, concurrent requests for the same file waiting for
+ * the first one to complete.  An entry records the modification time and size of every
+ * file it was built from, and is discarded as soon as any of them changes.  Edits within
+ * the timestamp granularity of the filesystem that do not change the file size are not
+ * detected, which is why the cache is also cleared at the start of each build by
+ * {@link HoconLifecycleParticipant}.
+ */
+class HoconConfigCache {
+
+    interface Loader {
+        Entry load(Path file) throws IOException;
+    }
+
+    private final Map<Path, CompletableFuture<Entry>> parsed = new ConcurrentHashMap<>();
+    private final Map<Path, CompletableFuture<Entry>> resolved = new ConcurrentHashMap<>();
+
+    Entry getParsed(Path file) throws IOException {
+        return get(parsed, file, this::parse);
+    }
+
+    Entry getResolved(Path file, Loader loader) throws IOException {
+        return get(resolved, file, loader);
+    }
+
+    void clear() {
+        parsed.clear();
+        resolved.clear();
+    }
+
+    Entry parse(Path file) throws IOException {
+        Stamp stamp = Stamp.of(file);
+        try (Reader reader = ReaderFactory.newXmlReader(file.toFile())) {
+            return new Entry(ConfigFactory.parseReader(reader), Collections.singletonMap(file, stamp));
+        } catch (ConfigException e) {
+            throw HoconModelReader.newParseException(file, e, null);
+        }
+    }
+
+    private static Entry get(Map<Path, CompletableFuture<Entry>> entries, Path file, Loader loader)
+            throws IOException {
+        while (true) {
+            CompletableFuture<Entry> future = entries.get(file);
+            if (future == null) {
+                CompletableFuture<Entry> created = new CompletableFuture<>();
+                future = entries.putIfAbsent(file, created);
+                if (future == null) {
+                    // the loader runs outside of any map operation, so that it can load other files
+                    try {
+                        Entry entry = loader.load(file);
+                        created.complete(entry);
+                        return entry;
+                    } catch (IOException | RuntimeException | Error e) {
+                        entries.remove(file, created);
+                        created.completeExceptionally(e);
+                        throw e;
+                    }
+                }
+            }
+            Entry entry = join(future);
+            if (entry.isUpToDate()) {
+                return entry;
+            }
+            entries.remove(file, future);
+        }
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    static class Entry {
+        private final Config config;
+        private final Map<Path, Stamp> stamps;
+
+        Entry(Config config, Map<Path, Stamp> stamps) {
+            this.config = config;
+            this.stamps = stamps;
+        }
+
+        Config getConfig() {
+            return config;
+        }
+
+        Map<Path, Stamp> getStamps() {
+            return stamps;
+        }
+
+        private boolean isUpToDate() {
+            try {
+                for (Map.Entry<Path, Stamp> stamp : stamps.entrySet()) {
+                    if (!Stamp.of(stamp.getKey()).equals(stamp.getValue())) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    static class Stamp {
+        private final FileTime lastModified;
+        private final long size;
+
+        Stamp(FileTime lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static Stamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(attributes.lastModifiedTime(), attributes.size());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Stamp)) {
+                return false;
+            }
+            Stamp stamp = (Stamp) o;
+            return size == stamp.size && lastModified.equals(stamp.lastModified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.hocon;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.polyglot.Mapping;
+
+/**
+ * Clears the HOCON configuration cache at the start of each build, so that
+ * long-lived containers do not keep configurations from a previous build.
+ */
+@Named("hocon")
+@Singleton
+public class HoconLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+    private final Mapping mapping;
+
+    @Inject
+    public HoconLifecycleParticipant(@Named("hocon") Mapping mapping) {
+        this.mapping = mapping;
+    }
+
+    @Override
+    public void afterSessionStart(MavenSession session) {
+        if (mapping instanceof HoconMapping) {
+            ((HoconMapping) mapping).clearCache();
+        }
+    }
+}
@@ -20,24 +20,32 @@ package org.apache.maven.hocon;
 
 import javax.annotation.Priority;
 import javax.inject.Named;
+import javax.inject.Singleton;
 
 import org.apache.maven.model.io.ModelReader;
 import org.apache.maven.model.io.ModelWriter;
 import org.apache.maven.polyglot.AbstractMapping;
 
 @Named("hocon")
+@Singleton
 @Priority(1)
 public class HoconMapping extends AbstractMapping {
 
     public static final String EXTENSION = ".conf";
 
+    private final HoconModelReader reader = new HoconModelReader(new HoconConfigCache());
+
     public HoconMapping() {
         super(EXTENSION);
     }
 
     @Override
     public ModelReader getReader() {
-        return new HoconModelReader();
+        return reader;
+    }
+
+    void clearCache() {
+        reader.clearCache();
     }
 
     @Override
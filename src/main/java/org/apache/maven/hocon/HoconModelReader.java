@@ -20,17 +20,220 @@ package org.apache.maven.hocon;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.io.ModelParseException;
 import org.apache.maven.polyglot.AbstractModelReader;
 
+/**
+ * Reads HOCON poms.
+ * <p>
+ * Substitutions are resolved against the parent chain: when a parent <code>pom.conf</code>
+ * can be located through <code>parent.relativePath</code> (defaulting to <code>..</code>)
+ * and its coordinates match the declared parent, its resolved configuration, including the
+ * values inherited from its own parents, is available both at the root and under the
+ * <code>parent</code> key, so that a child can use <code>${parent.properties.foo}</code>.
+ * Parsed and resolved parent configurations are kept in a {@link HoconConfigCache} so that
+ * each parent is only parsed and resolved once.
+ * <p>
+ * Instances are stateless apart from the cache and can be shared between threads.
+ */
 public class HoconModelReader extends AbstractModelReader {
+
+    private static final String PARENT = "parent";
+    private static final String GROUP_ID = "groupId";
+    private static final String ARTIFACT_ID = "artifactId";
+    private static final String VERSION = "version";
+    private static final String RELATIVE_PATH = "relativePath";
+    private static final String DEFAULT_RELATIVE_PATH = "..";
+
+    private final HoconConfigCache cache;
+    private final HoconReader hoconReader = new HoconReader();
+
+    public HoconModelReader() {
+        this(new HoconConfigCache());
+    }
+
+    HoconModelReader(HoconConfigCache cache) {
+        this.cache = cache;
+    }
+
+    void clearCache() {
+        cache.clear();
+    }
+
     protected Model read(Reader input, Path pomFile, Map<String, Object> options) throws IOException {
-        Config config = ConfigFactory.parseReader(input);
-        return new Model(new HoconReader().parseModel(config.root()));
+        Path file = pomFile != null ? pomFile.toAbsolutePath().normalize() : null;
+        Config config;
+        try {
+            config = ConfigFactory.parseReader(input);
+        } catch (ConfigException e) {
+            throw newParseException(file, e, null);
+        }
+        HoconConfigCache.Entry parent = null;
+        String hint = null;
+        if (file != null) {
+            ConfigObject declared = getObject(config.root(), PARENT);
+            Path candidate = locateParent(declared, file);
+            if (candidate != null) {
+                if (isParent(declared, candidate)) {
+                    checkCycles(file, candidate);
+                    parent = loadParent(candidate);
+                } else {
+                    hint = "the pom found at " + candidate + " is not used as parent as it does not match "
+                            + getString(declared, GROUP_ID) + ":" + getString(declared, ARTIFACT_ID) + ":"
+                            + getString(declared, VERSION);
+                }
+            }
+        }
+        try {
+            return new Model(hoconReader.parseModel(resolve(config, parent).root()));
+        } catch (ConfigException e) {
+            throw newParseException(file, e, hint);
+        }
+    }
+
+    static ModelParseException newParseException(Path file, ConfigException e, String hint) {
+        int line = e.origin() != null ? e.origin().lineNumber() : -1;
+        String message = (file != null ? file + ": " : "") + e.getMessage() + (hint != null ? " (" + hint + ")" : "");
+        return new ModelParseException(message, line, -1, e);
+    }
+
+    private Config resolve(Config config, HoconConfigCache.Entry parent) {
+        if (parent != null) {
+            Config source = config.withFallback(parent.getConfig().atKey(PARENT))
+                    .withFallback(parent.getConfig());
+            return config.resolveWith(source);
+        }
+        return config.resolve();
+    }
+
+    private HoconConfigCache.Entry loadParent(Path file) throws IOException {
+        return cache.getResolved(file, f -> {
+            HoconConfigCache.Entry parsed = cache.getParsed(f);
+            Path grandParentFile = getParent(parsed.getConfig().root(), f);
+            HoconConfigCache.Entry grandParent = grandParentFile != null ? loadParent(grandParentFile) : null;
+            Config resolved;
+            try {
+                resolved = resolve(parsed.getConfig(), grandParent);
+            } catch (ConfigException e) {
+                throw newParseException(f, e, null);
+            }
+            Map<Path, HoconConfigCache.Stamp> stamps = new HashMap<>(parsed.getStamps());
+            if (grandParent != null) {
+                stamps.putAll(grandParent.getStamps());
+                resolved = resolved.withFallback(grandParent.getConfig());
+            }
+            return new HoconConfigCache.Entry(resolved, stamps);
+        });
+    }
+
+    /**
+     * Walks the parent chain on the parsed configurations, before any resolution
+     * takes place, so that a cycle is reported instead of waiting on itself.
+     */
+    private void checkCycles(Path pomFile, Path parentFile) throws IOException {
+        Set<Path> chain = new LinkedHashSet<>();
+        chain.add(pomFile);
+        Path file = parentFile;
+        while (file != null) {
+            if (!chain.add(file)) {
+                throw new ModelParseException(
+                        "Cycle detected in parent chain: "
+                                + chain.stream().map(Path::toString).collect(Collectors.joining(" -> "))
+                                + " -> " + file,
+                        -1,
+                        -1);
+            }
+            file = getParent(cache.getParsed(file).getConfig().root(), file);
+        }
+    }
+
+    private Path getParent(ConfigObject root, Path pomFile) throws IOException {
+        ConfigObject declared = getObject(root, PARENT);
+        Path candidate = locateParent(declared, pomFile);
+        return candidate != null && isParent(declared, candidate) ? candidate : null;
+    }
+
+    private boolean isParent(ConfigObject declared, Path candidate) throws IOException {
+        return matches(declared, cache.getParsed(candidate).getConfig().root());
+    }
+
+    private Path locateParent(ConfigObject declared, Path pomFile) {
+        if (declared == null) {
+            return null;
+        }
+        String relativePath = getString(declared, RELATIVE_PATH);
+        if (relativePath == null) {
+            relativePath = DEFAULT_RELATIVE_PATH;
+        }
+        if (relativePath.isEmpty() || pomFile.getParent() == null) {
+            return null;
+        }
+        Path file = pomFile.getParent().resolve(relativePath).normalize();
+        if (Files.isDirectory(file)) {
+            file = file.resolve("pom" + HoconMapping.EXTENSION);
+        }
+        if (Files.isRegularFile(file) && file.getFileName().toString().endsWith(HoconMapping.EXTENSION)) {
+            return file;
+        }
+        return null;
+    }
+
+    /**
+     * Checks that the candidate pom has the coordinates of the declared parent,
+     * taking into account the groupId and version inherited from its own parent.
+     */
+    private static boolean matches(ConfigObject declared, ConfigObject candidate) {
+        ConfigObject candidateParent = getObject(candidate, PARENT);
+        return matches(declared, candidate, candidateParent, GROUP_ID)
+                && matches(declared, candidate, null, ARTIFACT_ID)
+                && matches(declared, candidate, candidateParent, VERSION);
+    }
+
+    private static boolean matches(
+            ConfigObject declared, ConfigObject candidate, ConfigObject candidateParent, String key) {
+        String expected = getString(declared, key);
+        String actual = getString(candidate, key);
+        if (actual == null && candidateParent != null) {
+            actual = getString(candidateParent, key);
+        }
+        return expected != null && Objects.equals(expected, actual);
+    }
+
+    private static ConfigObject getObject(ConfigObject object, String key) {
+        ConfigValue value = object.get(key);
+        return value instanceof ConfigObject ? (ConfigObject) value : null;
+    }
+
+    private static String getString(ConfigObject object, String key) {
+        ConfigValue value = object.get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            ConfigValueType type = value.valueType();
+            if (type == ConfigValueType.OBJECT || type == ConfigValueType.LIST || type == ConfigValueType.NULL) {
+                return null;
+            }
+            return value.unwrapped().toString();
+        } catch (ConfigException.NotResolved e) {
+            // coordinates using substitutions cannot be compared before resolution
+            return null;
+        }
     }
 }
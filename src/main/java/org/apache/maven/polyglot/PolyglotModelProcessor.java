@@ -21,6 +21,7 @@ package org.apache.maven.polyglot;
 import javax.annotation.Priority;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Singleton;
 
 import java.io.File;
 import java.io.IOException;
@@ -47,6 +48,7 @@ import org.codehaus.plexus.util.xml.XmlStreamReader;
 import org.eclipse.sisu.Typed;
 
 @Named("polyglot")
+@Singleton
 @Priority(10)
 @Typed(ModelProcessor.class)
 public class PolyglotModelProcessor implements ModelProcessor {
@@ -65,6 +67,9 @@ public class PolyglotModelProcessor implements ModelProcessor {
 
     protected final Collection<Mapping> mappings;
 
+    // the writer does not keep any per-call state, so it can be shared between threads
+    private final MavenXpp3Writer xmlWriter = new MavenXpp3Writer();
+
     @Inject
     public PolyglotModelProcessor(Collection<Mapping> mappings) {
         this.mappings = mappings;
@@ -106,11 +111,11 @@ public class PolyglotModelProcessor implements ModelProcessor {
 
             ModelReader reader = getReaderFor(options);
             Model model = reader.read(realPom, options);
-            MavenXpp3Writer xmlWriter = new MavenXpp3Writer();
-            StringWriter xml = new StringWriter();
-            xmlWriter.write(xml, model);
+            StringWriter writer = new StringWriter();
+            xmlWriter.write(writer, model);
+            String xml = writer.toString();
 
-            FileUtils.fileWrite(pom, xml.toString());
+            FileUtils.fileWrite(pom, xml);
 
             // dump pom if filename is given via the pom properties
             String dump = model.getProperties().getProperty("polyglot.dump.pom");
@@ -120,10 +125,10 @@ public class PolyglotModelProcessor implements ModelProcessor {
             }
             if (dump != null) {
                 File dumpPom = new File(pom.getParentFile(), dump);
-                if (!dumpPom.exists()
-                        || !FileUtils.fileRead(dumpPom).equals(xml.toString().replace("?>", WARNING))) {
+                String dumpXml = xml.replace("?>", WARNING);
+                if (!dumpPom.exists() || !FileUtils.fileRead(dumpPom).equals(dumpXml)) {
                     dumpPom.setWritable(true);
-                    FileUtils.fileWrite(dumpPom, xml.toString().replace("?>", WARNING));
+                    FileUtils.fileWrite(dumpPom, dumpXml);
                     if ("true".equals(model.getProperties().getProperty("polyglot.dump.readonly"))) {
                         dumpPom.setReadOnly();
                     }
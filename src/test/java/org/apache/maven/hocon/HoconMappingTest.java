@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.hocon;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.apache.maven.model.io.ModelReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class HoconMappingTest {
+
+    private static final int MODULES = 10_000;
+
+    @Test
+    void testReaderIsShared() {
+        HoconMapping mapping = new HoconMapping();
+
+        assertSame(mapping.getReader(), mapping.getReader());
+    }
+
+    @Test
+    void testReaderAllocation() {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        HoconMapping mapping = new HoconMapping();
+        // keep the readers reachable so that their allocation cannot be optimized away
+        ModelReader[] readers = new ModelReader[MODULES];
+
+        long shared = allocatedBytes(bean, () -> {
+            for (int i = 0; i < MODULES; i++) {
+                readers[i] = mapping.getReader();
+            }
+        });
+        long perModule = allocatedBytes(bean, () -> {
+            for (int i = 0; i < MODULES; i++) {
+                readers[i] = new HoconModelReader();
+            }
+        });
+
+        assertTrue(
+                shared * 10 < perModule,
+                "allocated " + shared + " bytes with a shared reader, "
+                        + perModule + " bytes with a reader per module");
+    }
+
+    private static long allocatedBytes(ThreadMXBean bean, Runnable runnable) {
+        long id = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(id);
+        runnable.run();
+        return bean.getThreadAllocatedBytes(id) - before;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.hocon;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.ModelParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HoconModelReaderTest {
+
+    private static final String PARENT = "modelVersion = 4.0.0\n"
+            + "groupId = org.example\n"
+            + "artifactId = parent\n"
+            + "version = 1.0\n";
+
+    private static final String CHILD_OF_PARENT = "modelVersion = 4.0.0\n"
+            + "parent { groupId = org.example, artifactId = parent, version = 1.0 }\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testParentSubstitution() throws Exception {
+        write(dir.resolve("pom.conf"), PARENT + "properties { jackson-version = \"2.15.0\" }\n");
+        Path child = write(
+                dir.resolve("child/pom.conf"), childWithDependencyVersion("${parent.properties.jackson-version}"));
+
+        Model model = new HoconModelReader().read(child.toFile(), Collections.emptyMap());
+
+        assertEquals("2.15.0", model.getDependencies().get(0).getVersion());
+    }
+
+    @Test
+    void testParentParsedOnce() throws Exception {
+        Path parent = write(dir.resolve("pom.conf"), PARENT + "properties { foo = \"1.2\" }\n");
+        Path child1 = write(dir.resolve("child1/pom.conf"), childWithDependencyVersion("${parent.properties.foo}"));
+        Path child2 = write(dir.resolve("child2/pom.conf"), childWithDependencyVersion("${parent.properties.foo}"));
+        CountingCache cache = new CountingCache();
+        HoconModelReader reader = new HoconModelReader(cache);
+
+        Model model1 = reader.read(child1.toFile(), Collections.emptyMap());
+        Model model2 = reader.read(child2.toFile(), Collections.emptyMap());
+
+        assertEquals("1.2", model1.getDependencies().get(0).getVersion());
+        assertEquals("1.2", model2.getDependencies().get(0).getVersion());
+        assertEquals(Collections.singletonMap(normalize(parent), 1), cache.parses());
+        assertEquals(Collections.singletonMap(normalize(parent), 1), cache.resolutions());
+    }
+
+    @Test
+    void testParentParsedOnceConcurrently() throws Exception {
+        Path grandParent = write(
+                dir.resolve("pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "groupId = org.example\n"
+                        + "artifactId = grand-parent\n"
+                        + "version = 1.0\n"
+                        + "properties { foo = \"1.2\" }\n");
+        Path parent = write(
+                dir.resolve("parent/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = grand-parent, version = 1.0 }\n"
+                        + "artifactId = parent\n");
+        List<Path> children = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            children.add(write(
+                    dir.resolve("parent/child" + i + "/pom.conf"),
+                    childWithDependencyVersion("${parent.properties.foo}")));
+        }
+        CountingCache cache = new CountingCache();
+        HoconModelReader reader = new HoconModelReader(cache);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Model>> tasks = new ArrayList<>();
+        for (Path child : children) {
+            tasks.add(() -> {
+                start.await();
+                return reader.read(child.toFile(), Collections.emptyMap());
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Model>> futures = new ArrayList<>();
+            for (Callable<Model> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Model> future : futures) {
+                assertEquals("1.2", future.get().getDependencies().get(0).getVersion());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Map.of(normalize(grandParent), 1, normalize(parent), 1), cache.parses());
+        assertEquals(Map.of(normalize(grandParent), 1, normalize(parent), 1), cache.resolutions());
+    }
+
+    @Test
+    void testParentChangeInvalidatesCache() throws Exception {
+        Path parent = write(dir.resolve("pom.conf"), PARENT + "properties { foo = \"1.2\" }\n");
+        Path child = write(dir.resolve("child/pom.conf"), childWithDependencyVersion("${parent.properties.foo}"));
+        HoconModelReader reader = new HoconModelReader(new HoconConfigCache());
+
+        assertEquals("1.2", reader.read(child.toFile(), Collections.emptyMap()).getDependencies().get(0).getVersion());
+
+        // the size changes, so the update is detected even within the timestamp granularity
+        write(parent, PARENT + "properties { foo = \"1.10\" }\n");
+
+        assertEquals("1.10", reader.read(child.toFile(), Collections.emptyMap()).getDependencies().get(0).getVersion());
+    }
+
+    @Test
+    void testGrandParentChange() throws Exception {
+        Path grandParent = write(
+                dir.resolve("pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "groupId = org.example\n"
+                        + "artifactId = grand-parent\n"
+                        + "version = 1.0\n"
+                        + "properties { foo = \"1.2\" }\n");
+        write(
+                dir.resolve("parent/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = grand-parent, version = 1.0 }\n"
+                        + "artifactId = parent\n"
+                        + "properties { bar = ${parent.properties.foo}\"-bar\" }\n");
+        Path child = write(
+                dir.resolve("parent/child/pom.conf"),
+                childWithDependencyVersion("${parent.properties.foo}\"-\"${parent.properties.bar}"));
+        HoconModelReader reader = new HoconModelReader(new HoconConfigCache());
+
+        assertEquals(
+                "1.2-1.2-bar",
+                reader.read(child.toFile(), Collections.emptyMap()).getDependencies().get(0).getVersion());
+
+        write(grandParent, Files.readString(grandParent).replace("1.2", "1.10"));
+
+        assertEquals(
+                "1.10-1.10-bar",
+                reader.read(child.toFile(), Collections.emptyMap()).getDependencies().get(0).getVersion());
+    }
+
+    @Test
+    void testExplicitRelativePath() throws Exception {
+        write(dir.resolve("parent/pom.conf"), PARENT + "properties { foo = \"1.2\" }\n");
+        Path child = write(
+                dir.resolve("child/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = parent, version = 1.0,"
+                        + " relativePath = \"../parent/pom.conf\" }\n"
+                        + "artifactId = child\n"
+                        + "dependencies = [ { groupId = org.example, artifactId = dep,"
+                        + " version = ${parent.properties.foo} } ]\n");
+
+        Model model = new HoconModelReader().read(child.toFile(), Collections.emptyMap());
+
+        assertEquals("1.2", model.getDependencies().get(0).getVersion());
+    }
+
+    @Test
+    void testMismatchingParentIgnored() throws Exception {
+        Path aggregator = write(
+                dir.resolve("pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "groupId = org.example\n"
+                        + "artifactId = aggregator\n"
+                        + "version = 1.0\n"
+                        + "properties { foo = \"1.2\", broken = ${undefined} }\n");
+        String child = "modelVersion = 4.0.0\n"
+                + "parent { groupId = org.apache.maven.extensions, artifactId = maven-extensions,"
+                + " version = 39 }\n"
+                + "artifactId = child\n"
+                + "properties { foo = \"2.0\" }\n"
+                + "dependencies = [ { groupId = org.example, artifactId = dep,"
+                + " version = ${properties.foo} } ]\n";
+        Path child1 = write(dir.resolve("child1/pom.conf"), child);
+        Path child2 = write(dir.resolve("child2/pom.conf"), child);
+        CountingCache cache = new CountingCache();
+        HoconModelReader reader = new HoconModelReader(cache);
+
+        Model model1 = reader.read(child1.toFile(), Collections.emptyMap());
+        Model model2 = reader.read(child2.toFile(), Collections.emptyMap());
+
+        assertEquals("2.0", model1.getDependencies().get(0).getVersion());
+        assertEquals("2.0", model2.getDependencies().get(0).getVersion());
+        assertEquals(Collections.singletonMap(normalize(aggregator), 1), cache.parses());
+        assertEquals(Collections.emptyMap(), cache.resolutions());
+    }
+
+    @Test
+    void testMismatchingParentReported() throws Exception {
+        Path aggregator = write(
+                dir.resolve("pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "groupId = org.example\n"
+                        + "artifactId = aggregator\n"
+                        + "version = 1.0\n"
+                        + "properties { foo = \"1.2\" }\n");
+        Path child = write(dir.resolve("child/pom.conf"), childWithDependencyVersion("${parent.properties.foo}"));
+
+        ModelParseException e = assertThrows(
+                ModelParseException.class,
+                () -> new HoconModelReader().read(child.toFile(), Collections.emptyMap()));
+
+        assertTrue(e.getMessage().contains(child.toAbsolutePath().normalize().toString()), e.getMessage());
+        assertTrue(e.getMessage().contains(normalize(aggregator) + " is not used as parent"), e.getMessage());
+        assertEquals(4, e.getLineNumber());
+    }
+
+    @Test
+    void testParentCycle() throws Exception {
+        write(
+                dir.resolve("a/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = b, version = 1.0, relativePath = \"../b\" }\n"
+                        + "artifactId = a\n");
+        write(
+                dir.resolve("b/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = a, version = 1.0, relativePath = \"../a\" }\n"
+                        + "artifactId = b\n");
+        Path child = write(
+                dir.resolve("a/child/pom.conf"),
+                "modelVersion = 4.0.0\n"
+                        + "parent { groupId = org.example, artifactId = a, version = 1.0 }\n"
+                        + "artifactId = child\n");
+        CountingCache cache = new CountingCache();
+        HoconModelReader reader = new HoconModelReader(cache);
+
+        ModelParseException e =
+                assertThrows(ModelParseException.class, () -> reader.read(child.toFile(), Collections.emptyMap()));
+
+        assertTrue(e.getMessage().startsWith("Cycle detected in parent chain"), e.getMessage());
+        assertEquals(Collections.emptyMap(), cache.resolutions());
+    }
+
+    private static String childWithDependencyVersion(String version) {
+        return CHILD_OF_PARENT
+                + "artifactId = child\n"
+                + "dependencies = [ { groupId = org.example, artifactId = dep, version = " + version + " } ]\n";
+    }
+
+    private static Path write(Path file, String content) throws Exception {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    static class CountingCache extends HoconConfigCache {
+        private final Map<Path, AtomicInteger> parses = new ConcurrentHashMap<>();
+        private final Map<Path, AtomicInteger> resolutions = new ConcurrentHashMap<>();
+
+        @Override
+        Entry parse(Path file) throws IOException {
+            parses.computeIfAbsent(file, f -> new AtomicInteger()).incrementAndGet();
+            return super.parse(file);
+        }
+
+        @Override
+        Entry getResolved(Path file, Loader loader) throws IOException {
+            return super.getResolved(file, f -> {
+                resolutions.computeIfAbsent(f, k -> new AtomicInteger()).incrementAndGet();
+                return loader.load(f);
+            });
+        }
+
+        Map<Path, Integer> parses() {
+            return snapshot(parses);
+        }
+
+        Map<Path, Integer> resolutions() {
+            return snapshot(resolutions);
+        }
+
+        private static Map<Path, Integer> snapshot(Map<Path, AtomicInteger> counts) {
+            Map<Path, Integer> snapshot = new HashMap<>();
+            counts.forEach((k, v) -> snapshot.put(k, v.get()));
+            return snapshot;
+        }
+    }
+}
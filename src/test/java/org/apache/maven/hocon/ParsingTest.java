@@ -20,9 +20,13 @@ package org.apache.maven.hocon;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import org.apache.maven.api.model.Dependency;
 import org.apache.maven.api.model.Model;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +44,20 @@ class ParsingTest {
         assertEquals("39", model.getParent().getVersion());
         assertEquals(1, model.getDependencies().size());
     }
+
+    @Test
+    void testParallelListPreservesOrder() {
+        List<String> artifactIds =
+                IntStream.range(0, 1000).mapToObj(i -> "artifact-" + i).collect(Collectors.toList());
+        String pom = artifactIds.stream()
+                .map(a -> "{ groupId = org.example, artifactId = " + a + ", version = 1.0 }")
+                .collect(Collectors.joining(",\n", "dependencies = [\n", "\n]"));
+        Config config = ConfigFactory.parseString(pom);
+
+        Model model = new HoconReader(1).parseModel(config.root());
+
+        assertEquals(
+                artifactIds,
+                model.getDependencies().stream().map(Dependency::getArtifactId).collect(Collectors.toList()));
+    }
 }